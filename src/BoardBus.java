@@ -0,0 +1,149 @@
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Node;
+import javafx.scene.layout.VBox;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import org.json.JSONObject;
+
+import java.util.*;
+
+// One loaded board: its clips, its tiles, and the gain bus everything it plays
+// goes through. Several can be alive at once so boards keep sounding (and keep
+// their tiles built) while another one owns the hotkeys.
+public class BoardBus {
+
+    final String name;
+
+    // clip → is-looping
+    final Map<AudioClip, Boolean>     loopState   = new HashMap<>();
+    // clip → its VBox card
+    final Map<AudioClip, VBox>        clipCards   = new HashMap<>();
+    // index → clip (for hotkeys)
+    final Map<Integer, AudioClip>     hotkeyClips = new HashMap<>();
+    // sound entry → clip (for search results)
+    final Map<JSONObject, AudioClip>  clipsBySound = new IdentityHashMap<>();
+    // built tiles, kept so switching back to this board is instant
+    final List<Node>                  tiles       = new ArrayList<>();
+
+    // AudioClip volume is fixed once a play starts, so loops that may need to
+    // crossfade run as MediaPlayers whose volume stays bound to the bus.
+    private final Map<AudioClip, MediaPlayer> loopPlayers = new HashMap<>();
+
+    final DoubleProperty gain = new SimpleDoubleProperty(1);   // user fader, 0–1
+    final DoubleProperty fade = new SimpleDoubleProperty(1);   // crossfade envelope, loops only
+    private final DoubleBinding loopLevel = gain.multiply(fade);
+    private Timeline fadeAnim;
+
+    BoardBus(String name) { this.name = name; }
+
+    // ── Playback ──────────────────────────────────────────────
+    void playOnce(AudioClip clip) {
+        loopState.put(clip, false);
+        clip.setCycleCount(1);
+        clip.play(gain.get() * clip.getVolume());
+    }
+
+    // `fadeable` loops (multi-board) stream through a MediaPlayer so the bus can
+    // ramp them; otherwise the AudioClip loops itself, gapless and low-latency,
+    // at the bus gain it started with (and, if a crossfade later takes it out,
+    // it stops when the fade ends rather than ramping).
+    void startLoop(AudioClip clip, boolean fadeable) {
+        stop(clip);
+        loopState.put(clip, true);
+        if (!fadeable) {
+            clip.setCycleCount(AudioClip.INDEFINITE);
+            clip.play(gain.get() * clip.getVolume());
+            return;
+        }
+        MediaPlayer mp = new MediaPlayer(new Media(clip.getSource()));
+        mp.setCycleCount(MediaPlayer.INDEFINITE);
+        mp.setBalance(clip.getBalance());
+        mp.setRate(clip.getRate());
+        mp.volumeProperty().bind(loopLevel.multiply(clip.getVolume()));
+        mp.play();
+        loopPlayers.put(clip, mp);
+    }
+
+    // Stops every instance of the clip, one-shot or looping
+    void stop(AudioClip clip) {
+        clip.stop();
+        stopLoop(clip);
+        loopState.put(clip, false);
+    }
+
+    void stopAll() {
+        for (AudioClip clip : loopState.keySet()) {
+            clip.stop();
+            loopState.put(clip, false);
+        }
+        stopLoops();
+    }
+
+    boolean hasLoops() { return loopState.containsValue(true); }
+
+    private void stopLoop(AudioClip clip) {
+        MediaPlayer mp = loopPlayers.remove(clip);
+        if (mp != null) { mp.stop(); mp.dispose(); }
+    }
+
+    private void stopLoops() {
+        for (Map.Entry<AudioClip, Boolean> e : loopState.entrySet())
+            if (e.getValue()) e.getKey().stop();
+        for (MediaPlayer mp : loopPlayers.values()) { mp.stop(); mp.dispose(); }
+        loopPlayers.clear();
+        loopState.replaceAll((c, looping) -> false);
+    }
+
+    // ── Crossfade ─────────────────────────────────────────────
+    // Ramps the loop envelope to `target`; a newer fade on the same bus cancels
+    // this one, including its onDone.
+    void fadeTo(double target, Duration length, Runnable onDone) {
+        if (fadeAnim != null) fadeAnim.stop();
+        fadeAnim = new Timeline(new KeyFrame(length, new KeyValue(fade, target)));
+        fadeAnim.setOnFinished(e -> {
+            fadeAnim = null;
+            if (onDone != null) onDone.run();
+        });
+        fadeAnim.play();
+    }
+
+    // Fades the loops out, then stops them and re-opens the envelope. `onSilent`
+    // runs just before the stop, while loopState still shows what was playing.
+    void fadeOut(Duration length, Runnable onSilent) {
+        fadeTo(0, length, () -> {
+            onSilent.run();
+            stopLoops();
+            fade.set(1);
+        });
+    }
+
+    // Brings already-running loops up from silence
+    void fadeIn(Duration length) {
+        if (fadeAnim == null) fade.set(0);
+        fadeTo(1, length, null);
+    }
+
+    void cancelFade() {
+        if (fadeAnim != null) fadeAnim.stop();
+        fadeAnim = null;
+        fade.set(1);
+    }
+
+    // Stops and unloads clips and tiles; the gain setting survives
+    void dispose() {
+        cancelFade();
+        stopAll();
+        loopState.clear();
+        clipCards.clear();
+        hotkeyClips.clear();
+        clipsBySound.clear();
+        tiles.clear();
+    }
+}
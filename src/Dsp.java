@@ -0,0 +1,78 @@
+// Per-sound DSP on planar float PCM (one array per channel, samples in [-1, 1]).
+//
+// Channels are kept planar on purpose. The bulk passes (gain/pan scaling,
+// mixing, float → 16-bit quantization) are plain unit-stride loops over a single
+// array with no branches or calls, the shape HotSpot's superword pass can turn
+// into SIMD; interleaved L/R would make them stride-2. Two passes are
+// inherently scalar: resampling is an indexed gather, and the final L/R byte
+// interleave is strided. Both run once per sound at conversion time, never on
+// a trigger.
+public final class Dsp {
+
+    private Dsp() {}
+
+    // Resamples by `ratio` (source frames consumed per output frame) with linear
+    // interpolation. Sample-rate conversion and tape-style pitch are the same
+    // operation, so callers fold both into one ratio and pay for a single pass.
+    public static float[][] resample(float[][] in, double ratio) {
+        int srcFrames = in[0].length;
+        if (ratio == 1.0 || srcFrames == 0) return in;
+        int outFrames = (int) (srcFrames / ratio);
+
+        // Positions are shared by every channel: compute once
+        int[]   idx  = new int[outFrames];
+        float[] frac = new float[outFrames];
+        for (int f = 0; f < outFrames; f++) {
+            double pos = f * ratio;
+            idx[f]  = Math.min((int) pos, srcFrames - 1);
+            frac[f] = (float) (pos - idx[f]);
+        }
+
+        float[][] out = new float[in.length][outFrames];
+        for (int c = 0; c < in.length; c++) {
+            float[] src = in[c], dst = out[c];
+            for (int f = 0; f < outFrames; f++) {
+                int i = idx[f], j = Math.min(i + 1, srcFrames - 1);
+                dst[f] = src[i] + (src[j] - src[i]) * frac[f];
+            }
+        }
+        return out;
+    }
+
+    // Applies gain and balance-law pan in place to stereo PCM (pan -1 = hard
+    // left, 0 = unity on both sides, +1 = hard right), clamping to [-1, 1].
+    public static void gainPan(float[][] stereo, float gain, float pan) {
+        scale(stereo[0], gain * Math.min(1f, 1f - pan));
+        scale(stereo[1], gain * Math.min(1f, 1f + pan));
+    }
+
+    static void scale(float[] a, float g) {
+        for (int i = 0; i < a.length; i++) a[i] = Math.max(-1f, Math.min(1f, a[i] * g));
+    }
+
+    // a[aOff + i] += b[bOff + i] * g for i in [0, len)
+    static void mixInto(float[] a, int aOff, float[] b, int bOff, int len, float g) {
+        for (int i = 0; i < len; i++) a[aOff + i] += b[bOff + i] * g;
+    }
+
+    // Planar floats → interleaved 16-bit little-endian
+    public static byte[] toPcm16(float[][] pcm) {
+        int frames = pcm[0].length, ch = pcm.length;
+        short[] q = new short[frames];
+        byte[] out = new byte[frames * ch * 2];
+        for (int c = 0; c < ch; c++) {
+            quantize(pcm[c], q);
+            // Strided byte interleave; scalar
+            for (int f = 0, o = c * 2; f < frames; f++, o += ch * 2) {
+                out[o]     = (byte) q[f];
+                out[o + 1] = (byte) (q[f] >> 8);
+            }
+        }
+        return out;
+    }
+
+    // Clamp and convert to 16-bit, unit-stride
+    static void quantize(float[] src, short[] dst) {
+        for (int i = 0; i < src.length; i++) dst[i] = (short) (Math.max(-1f, Math.min(1f, src[i])) * 32767f);
+    }
+}
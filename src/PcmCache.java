@@ -0,0 +1,186 @@
+import javax.sound.sampled.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+// Decode-once cache of sounds pre-converted to the output format.
+//
+// Two levels:
+//   memory — decoded, resampled stereo PCM per source file (LRU, bounded by samples)
+//   disk   — 16-bit stereo WAV at the output rate with the sound's gain/pan/pitch
+//            baked in, so the playback backend loads it without any conversion
+//
+// Keys include the source's size and mtime, so replacing a file invalidates it.
+// Callers evict an entry when its sound's settings change or the sound is
+// deleted, and prune against what the boards still reference at startup.
+public class PcmCache {
+
+    private static final long MEMORY_SAMPLES = 16L << 20;   // ~64 MB of float PCM
+
+    private final File dir;
+    private final int  sampleRate;
+
+    private long memorySamples;
+    private final LinkedHashMap<String, float[][]> memory = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, float[][]> eldest) {
+            if (memorySamples <= MEMORY_SAMPLES || size() == 1) return false;
+            memorySamples -= samples(eldest.getValue());
+            return true;
+        }
+    };
+
+    public PcmCache(File dir) { this(dir, outputSampleRate()); }
+
+    public PcmCache(File dir, int sampleRate) {
+        this.dir        = dir;
+        this.sampleRate = sampleRate;
+    }
+
+    public int sampleRate() { return sampleRate; }
+
+    // A setting, not a detection: JavaFX doesn't expose the rate its audio
+    // backend mixes at, and Java Sound mixers mostly report NOT_SPECIFIED. Set
+    // -Dsoundy.sampleRate=… to the output device's rate (e.g. 48000) so the
+    // backend plays cached WAVs without resampling; CD rate by default.
+    static int outputSampleRate() {
+        Integer rate = Integer.getInteger("soundy.sampleRate");
+        return rate != null && rate > 0 ? rate : 44100;
+    }
+
+    // ── Disk level ────────────────────────────────────────────
+    // Already-prepared WAV for these settings, or null. Never decodes, safe on the FX thread.
+    public File cached(File source, double gain, double pan, double pitch) {
+        File f = diskFile(source, gain, pan, pitch);
+        return f != null && f.exists() ? f : null;
+    }
+
+    // Returns the prepared WAV, converting on a miss. Null if the source can't be
+    // decoded here (e.g. MP3/OGG without a decoder SPI) — callers fall back to the
+    // original file and let the backend convert.
+    public File prepare(File source, double gain, double pan, double pitch) {
+        File out = diskFile(source, gain, pan, pitch);
+        if (out == null) return null;
+        if (out.exists()) return out;
+
+        float[][] pcm = pcm(source, pitch);
+        if (pcm == null) return null;
+        Dsp.gainPan(pcm, (float) gain, (float) pan);
+
+        try {
+            dir.mkdirs();
+            File tmp = new File(dir, out.getName() + ".tmp");
+            byte[] bytes = Dsp.toPcm16(pcm);
+            AudioFormat fmt = new AudioFormat(sampleRate, 16, 2, true, false);
+            try (AudioInputStream ais = new AudioInputStream(new ByteArrayInputStream(bytes), fmt, pcm[0].length)) {
+                AudioSystem.write(ais, AudioFileFormat.Type.WAVE, tmp);
+            }
+            // Atomic publish: a concurrent reader sees either nothing or the whole file
+            Files.move(tmp.toPath(), out.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return out;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Deletes the prepared WAV for these settings, if there is one
+    public void evict(File source, double gain, double pan, double pitch) {
+        File f = diskFile(source, gain, pan, pitch);
+        if (f != null) f.delete();
+    }
+
+    // Deletes every prepared WAV (and leftover .tmp) except the ones in `keep`:
+    // stale settings, replaced source files and deleted sounds
+    public void prune(Collection<File> keep) {
+        File[] files = dir == null ? null : dir.listFiles();
+        if (files == null) return;
+        Set<String> live = new HashSet<>();
+        for (File f : keep) if (f != null) live.add(f.getName());
+        for (File f : files) {
+            if (f.isFile() && !live.contains(f.getName())) f.delete();
+        }
+    }
+
+    // Cache file for these settings, whether or not it exists yet
+    File diskFile(File source, double gain, double pan, double pitch) {
+        if (dir == null) return null;
+        String key = source.getAbsolutePath() + '|' + source.length() + '|' + source.lastModified() + '|'
+                + sampleRate + '|' + gain + '|' + pan + '|' + pitch;
+        return new File(dir, hash(key) + ".wav");
+    }
+
+    // ── Memory level ──────────────────────────────────────────
+    // Decoded stereo PCM at the output rate, resampled by `pitch`. The returned
+    // arrays are a private copy the caller may modify.
+    public float[][] pcm(File source, double pitch) {
+        String key = source.getAbsolutePath() + '|' + source.length() + '|' + source.lastModified();
+        float[][] base;
+        synchronized (memory) {
+            base = memory.get(key);
+        }
+        if (base == null) {
+            base = decode(source, sampleRate);
+            if (base == null) return null;
+            // Another thread may have decoded the same file meanwhile: keep its copy
+            synchronized (memory) {
+                float[][] raced = memory.get(key);
+                if (raced != null) {
+                    base = raced;
+                } else {
+                    memorySamples += samples(base);
+                    memory.put(key, base);
+                }
+            }
+        }
+        float[][] out = Dsp.resample(base, pitch);
+        return out == base ? new float[][]{base[0].clone(), base[1].clone()} : out;
+    }
+
+    // Decodes to planar stereo floats at `rate`; null if javax.sound can't read it
+    static float[][] decode(File file, int rate) {
+        try (AudioInputStream raw = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat base = raw.getFormat();
+            if (base.getSampleRate() <= 0) throw new UnsupportedAudioFileException("no sample rate");
+            AudioFormat pcm16 = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED,
+                    base.getSampleRate(), 16, base.getChannels(), base.getChannels() * 2,
+                    base.getSampleRate(), false);
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(pcm16, raw)) {
+                byte[] bytes = in.readAllBytes();
+                int ch = pcm16.getChannels();
+                int frames = bytes.length / (2 * ch);
+                ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+                // Up/down-mix to stereo: mono is duplicated, extra channels dropped
+                float[] l = new float[frames], r = new float[frames];
+                for (int f = 0; f < frames; f++) {
+                    int o = f * ch * 2;
+                    l[f] = bb.getShort(o) / 32768f;
+                    r[f] = ch > 1 ? bb.getShort(o + 2) / 32768f : l[f];
+                }
+                return Dsp.resample(new float[][]{l, r}, pcm16.getSampleRate() / rate);
+            }
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.err.println("Can't decode " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static long samples(float[][] pcm) { return (long) pcm[0].length * pcm.length; }
+
+    private static String hash(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-1").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 12; i++) sb.append(String.format("%02x", d[i]));
+            return sb.toString();
+        } catch (Exception e) {
+            return Integer.toHexString(s.hashCode());
+        }
+    }
+}
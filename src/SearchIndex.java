@@ -0,0 +1,443 @@
+import java.util.*;
+
+// In-memory search over sounds: names, file names, tags and board membership.
+//
+// Every field is split into lowercase word tokens. Sorted token maps (one for
+// names, one for everything else) give exact and prefix lookups, and a trigram
+// map over the distinct tokens gives typo-tolerant (edit distance ≤ 1–2)
+// matches. Everything is updated in place on add/remove, so there is never a
+// rebuild; each entry remembers its slot in every posting list, so removal is
+// a swap with the list's tail.
+//
+// A query matches an entry when every query word matches one of its tokens.
+// The words' posting lists are intersected smallest first over flat mark/score
+// arrays, and only the ranked output is limited, never the match set. A
+// one-character word would expand to thousands of prefix lists, so its prefix
+// matches come from per-entry bitmasks of token first characters instead. Typos in
+// 3–4 letter words are only found when they keep one trigram of the word
+// ("kik" finds "kick", "air" never reaches "rain").
+public class SearchIndex<T> {
+
+    public record Hit<T>(T item, String board, String name, int score) {}
+
+    // Per-word strengths; a name hit outranks the same hit anywhere else
+    private static final int NAME_EXACT = 6, NAME_PREFIX = 4, OTHER_EXACT = 3, OTHER_PREFIX = 2,
+                             NAME_FUZZY = 2, OTHER_FUZZY = 1;
+
+    private static final class Entry<T> {
+        final T          item;
+        final String     board, name;
+        final String[]   nameTokens, otherTokens;
+        // each token's posting list and this entry's slot in it
+        final Postings[] nameLists, otherLists;
+        final int[]      nameSlots, otherSlots;
+
+        Entry(T item, String board, String name, String[] nameTokens, String[] otherTokens) {
+            this.item        = item;
+            this.board       = board;
+            this.name        = name;
+            this.nameTokens  = nameTokens;
+            this.otherTokens = otherTokens;
+            this.nameLists   = new Postings[nameTokens.length];
+            this.otherLists  = new Postings[otherTokens.length];
+            this.nameSlots   = new int[nameTokens.length];
+            this.otherSlots  = new int[otherTokens.length];
+        }
+    }
+
+    // Entry ids carrying a token, plus which of each entry's tokens it is
+    private static final class Postings {
+        int[] ids = new int[2], tok = new int[2];
+        int   n;
+    }
+
+    // One query word: its matching posting lists, strongest first. A null list
+    // stands for "every entry with a token starting with `head`" (name tokens
+    // at NAME_PREFIX, others at OTHER_PREFIX), read from the head masks.
+    private static final class Term {
+        final List<Postings> lists     = new ArrayList<>();
+        final IntList        strengths = new IntList();
+        long                 head;     // first-character bit, for null lists
+        long                 size;     // upper bound on matching entries
+
+        void add(Postings p, int strength) {
+            if (p == null) return;
+            lists.add(p);
+            strengths.add(strength);
+            size += p.n;
+        }
+
+        void addHeads(long bit, int strength, int entries) {
+            head = bit;
+            lists.add(null);
+            strengths.add(strength);
+            size += entries;
+        }
+    }
+
+    private static final class IntList {
+        int[] a = new int[8];
+        int   n;
+
+        void add(int v) {
+            if (n == a.length) a = Arrays.copyOf(a, n * 2);
+            a[n++] = v;
+        }
+    }
+
+    private final List<Entry<T>>            entries = new ArrayList<>();   // id → entry (null = free)
+    private final Deque<Integer>            free    = new ArrayDeque<>();
+    private final Map<T, Integer>           ids     = new IdentityHashMap<>();
+    private final TreeMap<String, Postings> names   = new TreeMap<>();      // name token → entry ids
+    private final TreeMap<String, Postings> others  = new TreeMap<>();      // file/tag/board token → entry ids
+    private final Map<String, Set<String>>  grams   = new HashMap<>();      // trigram → tokens in either map
+
+    // id → name length (capped), kept flat so ranking never touches entries
+    private int[] nameLen = new int[16];
+    // id → bits of the first characters of its name / other tokens (see headBit)
+    private long[] nameHeads = new long[16], otherHeads = new long[16];
+    // head bit → number of entries carrying it, to size one-character words
+    private final int[] nameHeadCount = new int[64], otherHeadCount = new int[64];
+
+    // Query scratch: mark[id] == pass means id survived every word so far
+    private int[] mark  = new int[0];
+    private int[] score = new int[0];
+    private int   gen;
+
+    // ── Updates ───────────────────────────────────────────────
+    public synchronized void add(T item, String board, String name, String file, Collection<String> tags) {
+        remove(item);
+
+        String[] nameTokens = tokenize(name);
+        Set<String> other = new LinkedHashSet<>();
+        Collections.addAll(other, tokenize(stripExt(file)));
+        for (String tag : tags) Collections.addAll(other, tokenize(tag));
+        Collections.addAll(other, tokenize(board));
+        other.removeAll(Arrays.asList(nameTokens));
+
+        int id = free.isEmpty() ? entries.size() : free.pop();
+        Entry<T> e = new Entry<>(item, board, name, nameTokens, other.toArray(new String[0]));
+        if (id == entries.size()) entries.add(e); else entries.set(id, e);
+        ids.put(item, id);
+        if (id == nameLen.length) {
+            nameLen    = Arrays.copyOf(nameLen, id * 2);
+            nameHeads  = Arrays.copyOf(nameHeads, id * 2);
+            otherHeads = Arrays.copyOf(otherHeads, id * 2);
+        }
+        nameLen[id]    = Math.min(name.length(), 0xFFFF);
+        nameHeads[id]  = heads(nameTokens);
+        otherHeads[id] = heads(e.otherTokens);
+        count(nameHeadCount, nameHeads[id], 1);
+        count(otherHeadCount, otherHeads[id], 1);
+
+        for (int i = 0; i < nameTokens.length; i++) {
+            e.nameLists[i] = post(names, nameTokens[i], id, i);
+            e.nameSlots[i] = e.nameLists[i].n - 1;
+        }
+        for (int i = 0; i < e.otherTokens.length; i++) {
+            e.otherLists[i] = post(others, e.otherTokens[i], id, i);
+            e.otherSlots[i] = e.otherLists[i].n - 1;
+        }
+    }
+
+    public synchronized void remove(T item) {
+        Integer id = ids.remove(item);
+        if (id == null) return;
+        Entry<T> e = entries.get(id);
+        for (int i = 0; i < e.nameTokens.length; i++)  unpost(names, e.nameTokens[i], e.nameLists[i], e.nameSlots[i], true);
+        for (int i = 0; i < e.otherTokens.length; i++) unpost(others, e.otherTokens[i], e.otherLists[i], e.otherSlots[i], false);
+        count(nameHeadCount, nameHeads[id], -1);
+        count(otherHeadCount, otherHeads[id], -1);
+        nameHeads[id] = otherHeads[id] = 0;
+        entries.set(id, null);
+        free.push(id);
+    }
+
+    public synchronized int size() { return ids.size(); }
+
+    // Appends id to the token's postings and returns them
+    private Postings post(TreeMap<String, Postings> map, String token, int id, int tokenIndex) {
+        Postings p = map.get(token);
+        if (p == null) {
+            map.put(token, p = new Postings());
+            for (String g : trigrams(token)) grams.computeIfAbsent(g, k -> new HashSet<>()).add(token);
+        }
+        if (p.n == p.ids.length) {
+            p.ids = Arrays.copyOf(p.ids, p.n * 2);
+            p.tok = Arrays.copyOf(p.tok, p.n * 2);
+        }
+        p.ids[p.n] = id;
+        p.tok[p.n++] = tokenIndex;
+        return p;
+    }
+
+    // Moves the tail into the freed slot and tells the moved entry where it went
+    private void unpost(TreeMap<String, Postings> map, String token, Postings p, int slot, boolean name) {
+        int last = --p.n;
+        if (slot != last) {
+            p.ids[slot] = p.ids[last];
+            p.tok[slot] = p.tok[last];
+            Entry<T> moved = entries.get(p.ids[slot]);
+            (name ? moved.nameSlots : moved.otherSlots)[p.tok[slot]] = slot;
+        }
+        if (p.n > 0) return;
+        map.remove(token);
+        if (names.containsKey(token) || others.containsKey(token)) return;
+        for (String g : trigrams(token)) {
+            Set<String> s = grams.get(g);
+            if (s != null && s.remove(token) && s.isEmpty()) grams.remove(g);
+        }
+    }
+
+    // ── Query ─────────────────────────────────────────────────
+    public synchronized List<Hit<T>> search(String query, int limit) {
+        String[] words = tokenize(query);
+        if (words.length == 0 || ids.isEmpty() || limit <= 0) return List.of();
+
+        Term[] terms = new Term[words.length];
+        for (int i = 0; i < words.length; i++) terms[i] = term(words[i]);
+        Arrays.sort(terms, Comparator.comparingLong(t -> t.size));
+        if (terms[0].size == 0) return List.of();
+
+        if (mark.length < entries.size()) {
+            mark  = new int[entries.size()];
+            score = new int[entries.size()];
+        }
+
+        // A single word ranks by strength alone: once a tier fills the limit,
+        // weaker tiers can't place
+        IntList live = new IntList();
+        int pass = union(terms[0], live, terms.length == 1 ? limit : Integer.MAX_VALUE);
+        for (int w = 1; w < terms.length && live.n > 0; w++) pass = intersect(terms[w], live, pass);
+        return rank(live, limit);
+    }
+
+    // Entries matching the word, each scored by its strongest hit
+    private int union(Term t, IntList live, int enough) {
+        int pass = nextGen();
+        for (int l = 0; l < t.lists.size(); l++) {
+            int s = t.strengths.a[l];
+            if (live.n >= enough && s < t.strengths.a[l - 1]) break;
+            Postings p = t.lists.get(l);
+            if (p == null) {
+                long[] heads = s == NAME_PREFIX ? nameHeads : otherHeads;
+                for (int id = 0, n = entries.size(); id < n; id++) {
+                    if ((heads[id] & t.head) == 0 || mark[id] == pass) continue;
+                    mark[id] = pass;
+                    score[id] = s;
+                    live.add(id);
+                }
+                continue;
+            }
+            for (int i = 0; i < p.n; i++) {
+                int id = p.ids[i];
+                if (mark[id] == pass) continue;
+                mark[id] = pass;
+                score[id] = s;
+                live.add(id);
+            }
+        }
+        return pass;
+    }
+
+    // Keeps the live entries that also match `t`, adding their strongest hit
+    private int intersect(Term t, IntList live, int prev) {
+        int pass = nextGen();
+        for (int l = 0; l < t.lists.size(); l++) {
+            Postings p = t.lists.get(l);
+            int s = t.strengths.a[l];
+            if (p == null) {
+                long[] heads = s == NAME_PREFIX ? nameHeads : otherHeads;
+                for (int i = 0; i < live.n; i++) {
+                    int id = live.a[i];
+                    if (mark[id] != prev || (heads[id] & t.head) == 0) continue;
+                    mark[id] = pass;
+                    score[id] += s;
+                }
+                continue;
+            }
+            for (int i = 0; i < p.n; i++) {
+                int id = p.ids[i];
+                if (mark[id] != prev) continue;
+                mark[id] = pass;
+                score[id] += s;
+            }
+        }
+        int k = 0;
+        for (int i = 0; i < live.n; i++) if (mark[live.a[i]] == pass) live.a[k++] = live.a[i];
+        live.n = k;
+        return pass;
+    }
+
+    // Top `limit` on packed keys: score, then shorter name, then lower id
+    private List<Hit<T>> rank(IntList live, int limit) {
+        long[] heap = new long[Math.min(limit, live.n)];
+        int size = 0;
+        for (int i = 0; i < live.n; i++) {
+            int id = live.a[i];
+            long key = (long) score[id] << 48 | (long) (0xFFFF - nameLen[id]) << 32 | (Integer.MAX_VALUE - id);
+            if (size < heap.length) siftUp(heap, size++, key);
+            else if (key > heap[0]) siftDown(heap, size, key);
+        }
+        Arrays.sort(heap, 0, size);
+
+        List<Hit<T>> hits = new ArrayList<>(size);
+        for (int k = size - 1; k >= 0; k--) {
+            Entry<T> e = entries.get(Integer.MAX_VALUE - (int) (heap[k] & 0xFFFFFFFFL));
+            hits.add(new Hit<>(e.item, e.board, e.name, (int) (heap[k] >>> 48)));
+        }
+        return hits;
+    }
+
+    private int nextGen() {
+        if (++gen == 0) { Arrays.fill(mark, 0); gen = 1; }
+        return gen;
+    }
+
+    // Every posting list matching `word`, strongest first, so the first time an
+    // entry is seen is its best hit
+    private Term term(String word) {
+        Term t = new Term();
+        long head = word.length() == 1 ? headBit(word.charAt(0)) : 0;
+        t.add(names.get(word), NAME_EXACT);
+        if (head != 0) t.addHeads(head, NAME_PREFIX, nameHeadCount[Long.numberOfTrailingZeros(head)]);
+        else for (Postings p : extensions(names, word)) t.add(p, NAME_PREFIX);
+        t.add(others.get(word), OTHER_EXACT);
+        if (head != 0) t.addHeads(head, OTHER_PREFIX, otherHeadCount[Long.numberOfTrailingZeros(head)]);
+        else for (Postings p : extensions(others, word)) t.add(p, OTHER_PREFIX);
+        if (word.length() >= 3) {
+            // Prefix matches are already in
+            List<String> fuzzy = fuzzyTokens(word);
+            for (String f : fuzzy) if (!f.startsWith(word)) t.add(names.get(f), NAME_FUZZY);
+            for (String f : fuzzy) if (!f.startsWith(word)) t.add(others.get(f), OTHER_FUZZY);
+        }
+        return t;
+    }
+
+    // One bit per ASCII letter/digit; 0 for anything else, which falls back to
+    // walking prefix lists
+    private static long headBit(char c) {
+        if (c >= 'a' && c <= 'z') return 1L << (c - 'a');
+        if (c >= '0' && c <= '9') return 1L << (26 + c - '0');
+        return 0;
+    }
+
+    private static long heads(String[] tokens) {
+        long bits = 0;
+        for (String t : tokens) bits |= headBit(t.charAt(0));
+        return bits;
+    }
+
+    private static void count(int[] counts, long bits, int delta) {
+        for (; bits != 0; bits &= bits - 1) counts[Long.numberOfTrailingZeros(bits)] += delta;
+    }
+
+    // Postings of tokens that start with `prefix` and are longer than it
+    private static Collection<Postings> extensions(TreeMap<String, Postings> map, String prefix) {
+        return map.subMap(prefix, false, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    // Distinct tokens within edit distance of `term` — or whose head is, for a
+    // partially typed word — found through shared trigrams. One edit touches at
+    // most 3 trigrams, so a match within d edits keeps all but 3d of the term's
+    // trigrams and must show up in any 3d + 1 of them: only the smallest sets
+    // are scanned. The term is padded at the start only, so its grams also
+    // occur in longer tokens that merely begin like it.
+    private List<String> fuzzyTokens(String term) {
+        int maxDist = term.length() <= 5 ? 1 : 2;
+        List<Set<String>> sets = new ArrayList<>();
+        String p = "^" + term;
+        for (int i = 0; i + 3 <= p.length(); i++) sets.add(grams.getOrDefault(p.substring(i, i + 3), Set.of()));
+        sets.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> probe = new HashSet<>();
+        for (Set<String> set : sets.subList(0, Math.min(sets.size(), 3 * maxDist + 1))) probe.addAll(set);
+
+        List<String> out = new ArrayList<>();
+        for (String t : probe) if (fuzzy(t, term, maxDist)) out.add(t);
+        return out;
+    }
+
+    // Typos in a partially typed word: compare against the token's head too
+    private static boolean fuzzy(String token, String term, int maxDist) {
+        String head = token.length() > term.length() + maxDist ? token.substring(0, term.length()) : token;
+        return Math.abs(head.length() - term.length()) <= maxDist && editDistance(term, head, maxDist) <= maxDist;
+    }
+
+    // Min-heap of longs: inserts `key` at `i`, restoring order upward
+    private static void siftUp(long[] h, int i, long key) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (h[parent] <= key) break;
+            h[i] = h[parent];
+            i = parent;
+        }
+        h[i] = key;
+    }
+
+    // Replaces the minimum with `key`, restoring order downward
+    private static void siftDown(long[] h, int size, long key) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && h[child + 1] < h[child]) child++;
+            if (key <= h[child]) break;
+            h[i] = h[child];
+            i = child;
+        }
+        h[i] = key;
+    }
+
+    // ── Text helpers ──────────────────────────────────────────
+    static String[] tokenize(String s) {
+        if (s == null || s.isEmpty()) return new String[0];
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                cur.append(Character.toLowerCase(c));
+            } else if (cur.length() > 0) {
+                out.add(cur.toString());
+                cur.setLength(0);
+            }
+        }
+        if (cur.length() > 0) out.add(cur.toString());
+        return out.stream().distinct().toArray(String[]::new);
+    }
+
+    private static String stripExt(String filename) {
+        if (filename == null) return "";
+        int slash = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'));
+        String base = filename.substring(slash + 1);
+        int dot = base.lastIndexOf('.');
+        return dot > 0 ? base.substring(0, dot) : base;
+    }
+
+    // Padded so short words still get grams and word starts weigh in
+    private static List<String> trigrams(String token) {
+        String p = "^" + token + "$";
+        List<String> out = new ArrayList<>(p.length());
+        for (int i = 0; i + 3 <= p.length(); i++) out.add(p.substring(i, i + 3));
+        return out;
+    }
+
+    // Levenshtein distance, giving up (returning max + 1) once it exceeds `max`
+    static int editDistance(String a, String b, int max) {
+        int[] prev = new int[b.length() + 1], cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()];
+    }
+}
@@ -0,0 +1,176 @@
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only log of everything fired during a show.
+//
+// Layout: header (magic, version, wall-clock start in epoch ms) followed by
+// records of [op:byte][delta-nanos:varlong]([source-id:varint][bus-id:varint])?,
+// and for TRIGGER/LOOP the board's bus gain as a float. Sources and buses are
+// interned: the first time a sound is seen a SOURCE record maps its original
+// file URI and gain/pan/pitch to an id (a BUS record does the same for a board
+// name), so each trigger after that costs a handful of bytes and the log
+// doesn't depend on the conversion cache. The bus id keeps a STOP on one board
+// from ending the same sound playing on another.
+//
+// The bus gain is sampled when a sound starts. Fader moves and crossfade ramps
+// while a loop is already running are not logged, so a bounce holds each loop
+// at the level it started with.
+public class SessionRecorder implements Closeable {
+
+    static final int  MAGIC   = 0x53445953;   // "SDYS"
+    static final byte VERSION = 3;
+
+    // ── Ops ───────────────────────────────────────────────────
+    static final byte SOURCE   = 0;   // id → sound definition, not an event
+    static final byte TRIGGER  = 1;   // one-shot play
+    static final byte LOOP     = 2;   // start looping
+    static final byte STOP     = 3;   // stop every instance of a source
+    static final byte STOP_ALL = 4;
+    static final byte END      = 5;   // session closed; open loops stop here
+    static final byte BUS      = 6;   // id → board name, not an event
+
+    // A sound as it was played: original file plus its per-sound DSP settings
+    public record Source(String uri, double gain, double pan, double pitch) {
+        static Source plain(String uri) { return new Source(uri, 1, 0, 1); }
+    }
+
+    public record Event(long nanos, byte op, Source source, String bus, float level) {}
+
+    private final DataOutputStream     out;
+    private final long                 startNanos;
+    private long                       lastNanos;
+    private final Map<Source, Integer> sourceIds = new HashMap<>();
+    private final Map<String, Integer> busIds    = new HashMap<>();
+    private boolean                    closed;
+
+    public SessionRecorder(File file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.flush();
+        startNanos = System.nanoTime();
+        lastNanos  = startNanos;
+    }
+
+    public void trigger(Source source, String bus, double level) throws IOException { write(TRIGGER, source, bus, level); }
+    public void loop(Source source, String bus, double level)    throws IOException { write(LOOP, source, bus, level); }
+    public void stop(Source source, String bus)                  throws IOException { write(STOP, source, bus, 1); }
+    public void stopAll()                                        throws IOException { write(STOP_ALL, null, null, 1); }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        write(END, null, null, 1);
+        closed = true;
+        out.close();
+    }
+
+    private synchronized void write(byte op, Source source, String bus, double level) throws IOException {
+        if (closed) return;
+        long now = System.nanoTime();
+        int id = -1, busId = -1;
+        if (source != null) {
+            Integer known = sourceIds.get(source);
+            if (known == null) {
+                known = sourceIds.size();
+                sourceIds.put(source, known);
+                out.writeByte(SOURCE);
+                writeVar(out, known);
+                out.writeUTF(source.uri());
+                out.writeDouble(source.gain());
+                out.writeDouble(source.pan());
+                out.writeDouble(source.pitch());
+            }
+            id = known;
+
+            Integer knownBus = busIds.get(bus);
+            if (knownBus == null) {
+                knownBus = busIds.size();
+                busIds.put(bus, knownBus);
+                out.writeByte(BUS);
+                writeVar(out, knownBus);
+                out.writeUTF(bus);
+            }
+            busId = knownBus;
+        }
+        out.writeByte(op);
+        writeVar(out, now - lastNanos);
+        if (id >= 0) {
+            writeVar(out, id);
+            writeVar(out, busId);
+        }
+        if (op == TRIGGER || op == LOOP) out.writeFloat((float) level);
+        lastNanos = now;
+        // Flush per event: a crash mid-show must not lose the tail of the log
+        out.flush();
+    }
+
+    // ── Reading ───────────────────────────────────────────────
+    // Returns events with absolute nanos since session start, SOURCE records resolved.
+    public static List<Event> read(File file) throws IOException {
+        List<Event>  events  = new ArrayList<>();
+        List<Source> sources = new ArrayList<>();
+        List<String> buses   = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a Soundy session log: " + file);
+            byte version = in.readByte();
+            if (version != VERSION) throw new IOException("Unsupported session log version " + version);
+            in.readLong();  // wall-clock start, informational
+
+            long t = 0;
+            int op;
+            while ((op = in.read()) != -1) {
+                if (op == SOURCE) {
+                    int id = (int) readVar(in);
+                    String uri = in.readUTF();
+                    Source src = new Source(uri, in.readDouble(), in.readDouble(), in.readDouble());
+                    while (sources.size() <= id) sources.add(null);
+                    sources.set(id, src);
+                    continue;
+                }
+                if (op == BUS) {
+                    int id = (int) readVar(in);
+                    String name = in.readUTF();
+                    while (buses.size() <= id) buses.add(null);
+                    buses.set(id, name);
+                    continue;
+                }
+                t += readVar(in);
+                Source source = null;
+                String bus = null;
+                float level = 1;
+                if (op == TRIGGER || op == LOOP || op == STOP) {
+                    source = sources.get((int) readVar(in));
+                    bus    = buses.get((int) readVar(in));
+                }
+                if (op == TRIGGER || op == LOOP) level = in.readFloat();
+                events.add(new Event(t, (byte) op, source, bus, level));
+            }
+        } catch (EOFException truncated) {
+            // Log cut short (crash / power loss) — keep everything read so far
+        }
+        return events;
+    }
+
+    // LEB128-style unsigned varint: small deltas and ids take 1–3 bytes
+    private static void writeVar(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVar(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+    }
+}
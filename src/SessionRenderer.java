@@ -0,0 +1,180 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Offline bounce of a SessionRecorder log to a 16-bit stereo WAV at the
+// cache's output rate, with each sound's gain/pan/pitch and its board's bus
+// gain applied as they were when it started.
+//
+// Events are turned into voices (source PCM + start/end frame), then the
+// timeline is cut into fixed-size chunks that are mixed in parallel. Each
+// worker writes its chunk straight to its own offset in the output file, so
+// stitching costs nothing and memory stays bounded by (cores × chunk).
+public class SessionRenderer {
+
+    static final int CHANNELS      = 2;
+    static final int CHUNK_SECONDS = 10;   // per work unit
+    private static final int WAV_HEADER = 44;
+
+    // One playing instance of a source on the timeline
+    private static final class Voice {
+        final SessionRecorder.Source source;
+        final String                 bus;      // board it played on
+        final float[][]              pcm;      // planar stereo
+        final float                  level;    // bus gain at start
+        final long                   start;
+        long                         end;      // exclusive, in frames
+
+        Voice(SessionRecorder.Source source, String bus, float[][] pcm, float level, long start, boolean loop) {
+            this.source = source;
+            this.bus    = bus;
+            this.pcm    = pcm;
+            this.level  = level;
+            this.start  = start;
+            this.end    = loop ? Long.MAX_VALUE : start + pcm[0].length;
+        }
+    }
+
+    // Renders at the cache's output rate and reuses its converted
+    // WAVs where they exist, so nothing is resampled twice.
+    public static void render(File log, File wav, PcmCache cache) throws IOException, InterruptedException {
+        List<SessionRecorder.Event> events = SessionRecorder.read(log);
+        int rate = cache.sampleRate();
+
+        // Decode each distinct source once
+        Map<SessionRecorder.Source, float[][]> decoded = new HashMap<>();
+        for (SessionRecorder.Event ev : events) {
+            if (ev.source() != null && !decoded.containsKey(ev.source())) {
+                // Undecodable sources (MP3/OGG without an SPI) render as silence
+                float[][] pcm = load(ev.source(), cache);
+                decoded.put(ev.source(), pcm != null ? pcm : new float[CHANNELS][0]);
+            }
+        }
+
+        // Replay events into voices
+        List<Voice> voices = new ArrayList<>();
+        long sessionEnd = 0;
+        for (SessionRecorder.Event ev : events) {
+            long frame = ev.nanos() * rate / 1_000_000_000L;
+            sessionEnd = Math.max(sessionEnd, frame);
+            switch (ev.op()) {
+                case SessionRecorder.TRIGGER, SessionRecorder.LOOP -> {
+                    float[][] pcm = decoded.get(ev.source());
+                    if (pcm[0].length > 0)
+                        voices.add(new Voice(ev.source(), ev.bus(), pcm, ev.level(), frame, ev.op() == SessionRecorder.LOOP));
+                }
+                case SessionRecorder.STOP -> {
+                    for (Voice v : voices)
+                        if (v.source.equals(ev.source()) && v.bus.equals(ev.bus()) && v.end > frame) v.end = frame;
+                }
+                case SessionRecorder.STOP_ALL -> {
+                    for (Voice v : voices)
+                        if (v.end > frame) v.end = frame;
+                }
+                // Closing the recorder stops nothing live: loops end here, one-shots ring out
+                case SessionRecorder.END -> {
+                    for (Voice v : voices)
+                        if (v.end == Long.MAX_VALUE) v.end = frame;
+                }
+                default -> { }
+            }
+        }
+        // Loops still open when the log ends (no END record) stop at the last event
+        long totalFrames = sessionEnd;
+        for (Voice v : voices) {
+            if (v.end == Long.MAX_VALUE) v.end = sessionEnd;
+            totalFrames = Math.max(totalFrames, v.end);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(wav, "rw")) {
+            raf.setLength(0);
+            FileChannel ch = raf.getChannel();
+            ch.write(wavHeader(totalFrames, rate), 0);
+
+            int chunkFrames = rate * CHUNK_SECONDS;
+            int chunks = (int) ((totalFrames + chunkFrames - 1) / chunkFrames);
+            ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try {
+                List<Future<?>> pending = new ArrayList<>();
+                for (int c = 0; c < chunks; c++) {
+                    long from = (long) c * chunkFrames;
+                    long to   = Math.min(totalFrames, from + chunkFrames);
+                    pending.add(pool.submit(() -> {
+                        ByteBuffer buf = mixChunk(voices, from, to);
+                        long pos = WAV_HEADER + from * CHANNELS * 2;
+                        while (buf.hasRemaining()) pos += ch.write(buf, pos);
+                        return null;
+                    }));
+                }
+                for (Future<?> f : pending) f.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Render failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    // Sums every voice overlapping [from, to) and converts to clipped 16-bit LE
+    private static ByteBuffer mixChunk(List<Voice> voices, long from, long to) {
+        int frames = (int) (to - from);
+        float[][] mix = new float[CHANNELS][frames];
+
+        for (Voice v : voices) {
+            long a = Math.max(from, v.start), b = Math.min(to, v.end);
+            if (a >= b) continue;
+            int len = v.pcm[0].length;
+            int src = (int) ((a - v.start) % len);
+            int dst = (int) (a - from);
+            int remaining = (int) (b - a);
+            // Mix in runs up to the end of the source so the inner loop stays branch-free
+            while (remaining > 0) {
+                int run = Math.min(remaining, len - src);
+                for (int c = 0; c < CHANNELS; c++) Dsp.mixInto(mix[c], dst, v.pcm[c], src, run, v.level);
+                dst += run; remaining -= run;
+                src = 0;
+            }
+        }
+        return ByteBuffer.wrap(Dsp.toPcm16(mix));
+    }
+
+    // Converted WAV when the cache has one (already at `rate`, DSP baked in),
+    // otherwise the original file with the sound's gain/pan/pitch applied here
+    private static float[][] load(SessionRecorder.Source s, PcmCache cache) {
+        File file = new File(URI.create(s.uri()));
+        File prepared = cache.cached(file, s.gain(), s.pan(), s.pitch());
+        if (prepared != null) return PcmCache.decode(prepared, cache.sampleRate());
+
+        float[][] pcm = cache.pcm(file, s.pitch());
+        if (pcm != null) Dsp.gainPan(pcm, (float) s.gain(), (float) s.pan());
+        return pcm;
+    }
+
+    private static ByteBuffer wavHeader(long frames, int rate) {
+        long dataBytes = frames * CHANNELS * 2;
+        ByteBuffer h = ByteBuffer.allocate(WAV_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        h.put("RIFF".getBytes()).putInt((int) (36 + dataBytes)).put("WAVE".getBytes());
+        h.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) CHANNELS)
+                .putInt(rate).putInt(rate * CHANNELS * 2)
+                .putShort((short) (CHANNELS * 2)).putShort((short) 16);
+        h.put("data".getBytes()).putInt((int) dataBytes);
+        h.flip();
+        return h;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: SessionRenderer <session.sdy> <out.wav>");
+            System.exit(1);
+        }
+        long t0 = System.nanoTime();
+        render(new File(args[0]), new File(args[1]), new PcmCache(new File("cache")));
+        System.out.printf("Rendered %s in %.2fs%n", args[1], (System.nanoTime() - t0) / 1e9);
+    }
+}
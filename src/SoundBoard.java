@@ -23,12 +23,17 @@ import org.json.JSONObject;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SoundBoard extends Application {
 
     // ── Persistence ──────────────────────────────────────────
     private static final File STORAGE = new File("boards.json");
+    private static final File SESSIONS = new File("sessions");
+    private static final File PCM_DIR  = new File("cache");
 
     // ── Design tokens ─────────────────────────────────────────
     private static final String BG        = "#0f0f0f";
@@ -58,23 +63,50 @@ public class SoundBoard extends Application {
     // ── State ─────────────────────────────────────────────────
     private BorderPane root;
     private StackPane  playView, boardsView, soundsView;
-    private FlowPane   playFlow, soundsFlow;
+    private FlowPane   playFlow;
 
     private Map<String, List<JSONObject>> boards = new LinkedHashMap<>();
     private String currentBoard = "Default Board";
     private ComboBox<String> boardSelect;
 
-    // clip → is-looping
-    private final Map<AudioClip, Boolean>  loopState    = new HashMap<>();
-    // clip → its VBox card (so we can update the visual state)
-    private final Map<AudioClip, VBox>     clipCards    = new HashMap<>();
-    // index → clip (for hotkeys)
-    private final Map<Integer, AudioClip>  hotkeyClips  = new HashMap<>();
+    // board name → loaded bus (clips, tiles, gain); `bus` owns the tiles and hotkeys
+    private final Map<String, BoardBus> buses = new HashMap<>();
+    private BoardBus bus;
+
+    // Multi-board: other boards stay loaded and keep playing across switches
+    private boolean  multiBoard;
+    private Duration crossfade = Duration.ZERO;
+
+    // Search over every board's sounds, updated on each add/delete/edit
+    private final SearchIndex<JSONObject> searchIndex = new SearchIndex<>();
+    private TextField                                searchField;
+    private ListView<SearchIndex.Hit<JSONObject>>    searchResults;
+
+    // Active session log (null when not recording)
+    private SessionRecorder recorder;
+    private File            recordingFile;
+    // clip → original file + gain/pan/pitch, so the log never points at a cache WAV
+    private final Map<AudioClip, SessionRecorder.Source> clipSources = new WeakHashMap<>();
+
+    // Device-format PCM cache; conversions run on one background thread
+    private final PcmCache        pcmCache   = new PcmCache(PCM_DIR);
+    private final ExecutorService converter  = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "pcm-cache");
+        t.setDaemon(true);
+        return t;
+    });
+    // conversion keys queued or known-undecodable, so each is attempted once
+    private final Set<String>     conversions = new HashSet<>();
+    private int                   pendingConversions;
+    private boolean               conversionsLanded;
 
     // ── App entry ─────────────────────────────────────────────
     @Override
     public void start(Stage stage) {
         loadBoards();
+        prewarmCache();
+        for (Map.Entry<String, List<JSONObject>> board : boards.entrySet())
+            for (JSONObject obj : board.getValue()) indexSound(board.getKey(), obj);
 
         // TOP BAR
         Label title = styled(new Label("Soundy"), TEXT, 22, true);
@@ -82,15 +114,7 @@ public class SoundBoard extends Application {
         boardSelect = new ComboBox<>();
         boardSelect.getItems().addAll(boards.keySet());
         boardSelect.getSelectionModel().select(currentBoard);
-        boardSelect.setStyle(
-                "-fx-background-color:" + BG_CARD + ";" +
-                        "-fx-border-color:" + BORDER + ";" +
-                        "-fx-text-fill:" + TEXT + ";" +
-                        "-fx-font-family:'Segoe UI';" +
-                        "-fx-font-size:13px;" +
-                        "-fx-background-radius:6;" +
-                        "-fx-border-radius:6;"
-        );
+        boardSelect.setStyle(comboStyle());
         boardSelect.setOnAction(e -> {
             String sel = boardSelect.getSelectionModel().getSelectedItem();
             if (sel != null) switchBoard(sel);
@@ -103,21 +127,39 @@ public class SoundBoard extends Application {
         stopAll.setOnMouseExited(e ->  stopAll.setStyle(btnStyle(DANGER, "transparent", DANGER)));
         stopAll.setOnAction(e -> stopAllClips());
 
+        // Record toggle — logs the session, then offers to bounce it to WAV
+        Button rec = new Button("●  Rec");
+        rec.setStyle(btnStyle(TEXT_DIM, "transparent", BORDER));
+        rec.setOnAction(e -> toggleRecording(rec));
+
+        // Multi-board toggle + crossfade length for board switches
+        ComboBox<String> fadeSelect = new ComboBox<>();
+        fadeSelect.getItems().addAll("Cut", "0.5s fade", "1s fade", "2s fade", "4s fade");
+        fadeSelect.getSelectionModel().select(0);
+        fadeSelect.setStyle(comboStyle());
+        fadeSelect.setDisable(true);
+        fadeSelect.setOnAction(e -> {
+            double[] secs = {0, 0.5, 1, 2, 4};
+            crossfade = Duration.seconds(secs[Math.max(0, fadeSelect.getSelectionModel().getSelectedIndex())]);
+        });
+
+        Button multi = new Button("⧉  Multi");
+        multi.setStyle(btnStyle(TEXT_DIM, "transparent", BORDER));
+        multi.setOnAction(e -> toggleMultiBoard(multi, fadeSelect));
+
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        HBox top = new HBox(14, title, boardSelect, spacer, stopAll);
+        HBox top = new HBox(14, title, boardSelect, multi, fadeSelect, spacer, rec, stopAll);
         top.setPadding(new Insets(12, 16, 12, 16));
         top.setAlignment(Pos.CENTER_LEFT);
         top.setStyle("-fx-background-color:" + BG + ";-fx-border-color:" + BORDER + ";-fx-border-width:0 0 1 0;");
 
         // VIEWS
         playFlow   = makeFlow();
-        soundsFlow = makeFlow();
         loadPlayFlow();
 
         ScrollPane playScroll   = scroll(playFlow);
-        ScrollPane soundsScroll = scroll(soundsFlow);
 
         Button addSoundBtn = new Button("＋  Add Sound");
         addSoundBtn.setStyle(btnStyle(ACCENT, "transparent", ACCENT));
@@ -140,10 +182,7 @@ public class SoundBoard extends Application {
         playView = new StackPane(playContent);
         playView.setStyle("-fx-background-color:" + BG + ";");
 
-        VBox soundsContent = new VBox(soundsScroll);
-        VBox.setVgrow(soundsScroll, Priority.ALWAYS);
-        soundsView = new StackPane(soundsContent);
-        soundsView.setStyle("-fx-background-color:" + BG + ";");
+        soundsView = buildSoundsView();
 
         boardsView = buildBoardsView();
 
@@ -172,10 +211,20 @@ public class SoundBoard extends Application {
 
         // Global keyboard shortcuts
         scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
-            // Hotkeys 1–0: trigger sounds
-            for (int i = 0; i < HOTKEYS.length; i++) {
+            // Ctrl+F: jump to search
+            if (event.isShortcutDown() && event.getCode() == KeyCode.F) {
+                root.setCenter(soundsView);
+                selectNav(nav, nb3, navBtns);
+                searchField.requestFocus();
+                searchField.selectAll();
+                event.consume();
+                return;
+            }
+            // Hotkeys 1–0: trigger sounds (digits go to the field while typing)
+            boolean typing = scene.getFocusOwner() instanceof TextInputControl;
+            for (int i = 0; i < HOTKEYS.length && !typing; i++) {
                 if (event.getCode() == HOTKEYS[i]) {
-                    AudioClip clip = hotkeyClips.get(i);
+                    AudioClip clip = bus.hotkeyClips.get(i);
                     if (clip != null) triggerClip(clip);
                     event.consume();
                     return;
@@ -207,6 +256,16 @@ public class SoundBoard extends Application {
                 "-fx-padding:6 14;";
     }
 
+    private String comboStyle() {
+        return "-fx-background-color:" + BG_CARD + ";" +
+                "-fx-border-color:" + BORDER + ";" +
+                "-fx-text-fill:" + TEXT + ";" +
+                "-fx-font-family:'Segoe UI';" +
+                "-fx-font-size:13px;" +
+                "-fx-background-radius:6;" +
+                "-fx-border-radius:6;";
+    }
+
     private <T extends Labeled> T styled(T node, String color, int size, boolean bold) {
         node.setStyle(
                 "-fx-text-fill:" + color + ";" +
@@ -301,17 +360,65 @@ public class SoundBoard extends Application {
 
     private void switchBoard(String name) {
         if (name == null || !boards.containsKey(name)) return;
-        stopAllClips();
+        if (!multiBoard) {
+            stopAllClips();
+            for (BoardBus b : buses.values()) b.dispose();
+            currentBoard = name;
+            boardSelect.getSelectionModel().select(name);
+            loadPlayFlow();
+            return;
+        }
+
+        // Multi-board: hand the tiles/hotkeys over, leave the outgoing board playing
+        if (name.equals(currentBoard)) return;
+        BoardBus outgoing = bus;
         currentBoard = name;
         boardSelect.getSelectionModel().select(name);
-        loadPlayFlow();
+        bus = bus(name);
+        if (bus.tiles.isEmpty()) loadPlayFlow();
+        else playFlow.getChildren().setAll(bus.tiles);
+
+        if (crossfade.greaterThan(Duration.ZERO)) {
+            outgoing.fadeOut(crossfade, () -> {
+                for (Map.Entry<AudioClip, Boolean> e : outgoing.loopState.entrySet())
+                    if (e.getValue()) record(SessionRecorder.STOP, outgoing, e.getKey());
+                resetTiles(outgoing);
+            });
+            bus.fadeIn(crossfade);
+        }
+    }
+
+    private void toggleMultiBoard(Button multi, ComboBox<String> fadeSelect) {
+        multiBoard = !multiBoard;
+        multi.setStyle(multiBoard ? btnStyle(ACCENT, "#1e1a2e", ACCENT) : btnStyle(TEXT_DIM, "transparent", BORDER));
+        fadeSelect.setDisable(!multiBoard);
+        if (multiBoard) return;
+
+        // Back to one board: silence and unload everything but the active one
+        for (BoardBus b : buses.values()) {
+            if (b == bus) continue;
+            unloadBus(b);
+        }
+    }
+
+    // Disposes a bus, logging a STOP for everything it had so the bounce matches
+    private void unloadBus(BoardBus b) {
+        for (AudioClip clip : b.loopState.keySet()) record(SessionRecorder.STOP, b, clip);
+        b.dispose();
+    }
+
+    private BoardBus bus(String name) {
+        return buses.computeIfAbsent(name, BoardBus::new);
     }
 
     // ── Play flow (main grid) ──────────────────────────────────
+    // (Re)builds the current board's tiles into its bus and shows them
     private void loadPlayFlow() {
-        playFlow.getChildren().clear();
-        clipCards.clear();
-        hotkeyClips.clear();
+        bus = bus(currentBoard);
+        bus.tiles.clear();
+        bus.clipCards.clear();
+        bus.hotkeyClips.clear();
+        bus.clipsBySound.clear();
 
         List<JSONObject> list = boards.getOrDefault(currentBoard, List.of());
         for (int i = 0; i < list.size(); i++) {
@@ -320,31 +427,33 @@ public class SoundBoard extends Application {
             String     name = obj.getString("name");
 
             if (!file.exists()) {
-                playFlow.getChildren().add(missingTile(name, i, list));
+                bus.tiles.add(missingTile(name, i, list));
                 continue;
             }
 
-            AudioClip clip = new AudioClip(file.toURI().toString());
-            loopState.put(clip, false);
+            AudioClip clip = loadClip(obj, file);
+            bus.loopState.put(clip, false);
 
-            VBox card = buildTile(clip, name, file, i, list);
-            clipCards.put(clip, card);
+            VBox card = buildTile(bus, clip, name, file, i, list);
+            bus.clipCards.put(clip, card);
+            bus.clipsBySound.put(obj, clip);
 
-            if (i < HOTKEYS.length) hotkeyClips.put(i, clip);
+            if (i < HOTKEYS.length) bus.hotkeyClips.put(i, clip);
 
-            playFlow.getChildren().add(card);
+            bus.tiles.add(card);
         }
+        playFlow.getChildren().setAll(bus.tiles);
     }
 
     // ── Tile builder ───────────────────────────────────────────
-    private VBox buildTile(AudioClip clip, String name, File file, int index, List<JSONObject> list) {
+    private VBox buildTile(BoardBus b, AudioClip clip, String name, File file, int index, List<JSONObject> list) {
         String accentColor = TILE_COLORS[index % TILE_COLORS.length];
         String hotkey      = index < HOTKEYS.length ? String.valueOf(index + 1 == 10 ? 0 : index + 1) : "";
 
         // Duration label (async, non-blocking)
         Label durationLbl = new Label("—");
         durationLbl.setStyle("-fx-text-fill:" + TEXT_DIM + ";-fx-font-size:11px;-fx-font-family:'Segoe UI';-fx-font-family:'Segoe UI';");
-        Media m = new Media(file.toURI().toString());
+        Media m = new Media(clip.getSource());
         MediaPlayer mp = new MediaPlayer(m);
         mp.setOnReady(() -> {
             double sec = m.getDuration().toSeconds();
@@ -364,6 +473,17 @@ public class SoundBoard extends Application {
         );
         nameLbl.setMaxWidth(160);
 
+        // Per-sound gain / pan / pitch / tags
+        Button dspBtn = new Button("⚙");
+        dspBtn.setStyle(
+                "-fx-background-color:transparent;" +
+                        "-fx-text-fill:#444;" +
+                        "-fx-font-size:12px;" +
+                        "-fx-cursor:hand;" +
+                        "-fx-padding:0 6 0 0;"
+        );
+        dspBtn.setOnAction(e -> editSound(list.get(index)));
+
         // Hotkey badge
         Label hkLbl = new Label(hotkey.isEmpty() ? "" : "[" + hotkey + "]");
         hkLbl.setStyle("-fx-text-fill:#333;-fx-font-size:10px;-fx-font-family:'Segoe UI';");
@@ -381,29 +501,27 @@ public class SoundBoard extends Application {
         stopBtn.setVisible(false);
 
         playBtn.setOnAction(e -> {
-            loopState.put(clip, false);
-            clip.setCycleCount(1);
-            clip.play();
+            b.playOnce(clip);
+            record(SessionRecorder.TRIGGER, b, clip);
             updateTileState(clip, playingBar, stopBtn, loopBtn, false);
         });
 
         loopBtn.setOnAction(e -> {
-            boolean isLooping = loopState.get(clip);
+            boolean isLooping = b.loopState.get(clip);
             if (isLooping) {
-                clip.stop();
-                loopState.put(clip, false);
+                b.stop(clip);
+                record(SessionRecorder.STOP, b, clip);
                 updateTileState(clip, playingBar, stopBtn, loopBtn, false);
             } else {
-                clip.setCycleCount(AudioClip.INDEFINITE);
-                clip.play();
-                loopState.put(clip, true);
+                b.startLoop(clip, multiBoard);
+                record(SessionRecorder.LOOP, b, clip);
                 updateTileState(clip, playingBar, stopBtn, loopBtn, true);
             }
         });
 
         stopBtn.setOnAction(e -> {
-            clip.stop();
-            loopState.put(clip, false);
+            b.stop(clip);
+            record(SessionRecorder.STOP, b, clip);
             updateTileState(clip, playingBar, stopBtn, loopBtn, false);
         });
 
@@ -423,16 +541,24 @@ public class SoundBoard extends Application {
                 "-fx-background-color:transparent;-fx-text-fill:#444;-fx-font-size:12px;-fx-cursor:hand;-fx-padding:0;"
         ));
         deleteBtn.setOnAction(e -> {
-            clip.stop();
-            loopState.remove(clip);
-            clipCards.remove(clip);
-            list.removeIf(obj -> obj.getString("name").equals(name) && obj.getString("path").equals(file.getAbsolutePath()));
+            b.stop(clip);
+            record(SessionRecorder.STOP, b, clip);
+            b.loopState.remove(clip);
+            b.clipCards.remove(clip);
+            List<JSONObject> removed = new ArrayList<>();
+            list.removeIf(obj -> {
+                boolean hit = obj.getString("name").equals(name) && obj.getString("path").equals(file.getAbsolutePath());
+                if (hit) { searchIndex.remove(obj); removed.add(obj); }
+                return hit;
+            });
+            for (JSONObject obj : removed) releaseCached(obj);
             saveBoards();
             loadPlayFlow();
+            refreshSearch();
         });
 
         // Header row: hotkey + name + delete
-        HBox header = new HBox(hkLbl, new Region(), deleteBtn);
+        HBox header = new HBox(hkLbl, new Region(), dspBtn, deleteBtn);
         HBox.setHgrow(header.getChildren().get(1), Priority.ALWAYS);
         header.setAlignment(Pos.TOP_CENTER);
 
@@ -464,9 +590,8 @@ public class SoundBoard extends Application {
         // Double-click to play (convenience)
         card.setOnMouseClicked(ev -> {
             if (ev.getButton() == MouseButton.PRIMARY && ev.getClickCount() == 2) {
-                loopState.put(clip, false);
-                clip.setCycleCount(1);
-                clip.play();
+                b.playOnce(clip);
+                record(SessionRecorder.TRIGGER, b, clip);
                 updateTileState(clip, playingBar, stopBtn, loopBtn, false);
             }
         });
@@ -482,10 +607,9 @@ public class SoundBoard extends Application {
     }
 
     private void triggerClip(AudioClip clip) {
-        loopState.put(clip, false);
-        clip.setCycleCount(1);
-        clip.play();
-        VBox card = clipCards.get(clip);
+        bus.playOnce(clip);
+        record(SessionRecorder.TRIGGER, bus, clip);
+        VBox card = bus.clipCards.get(clip);
         if (card != null) {
             // Quick flash feedback
             ScaleTransition st = new ScaleTransition(Duration.millis(80), card);
@@ -498,13 +622,19 @@ public class SoundBoard extends Application {
         }
     }
 
+    // Panic: silences every loaded board, not just the one on screen
     private void stopAllClips() {
-        for (AudioClip clip : loopState.keySet()) {
-            clip.stop();
-            loopState.put(clip, false);
+        for (BoardBus b : buses.values()) {
+            b.cancelFade();
+            b.stopAll();
+            resetTiles(b);
         }
+        record(SessionRecorder.STOP_ALL, null, null);
+    }
+
+    private void resetTiles(BoardBus b) {
         // Reset all playing bars
-        for (Map.Entry<AudioClip, VBox> entry : clipCards.entrySet()) {
+        for (Map.Entry<AudioClip, VBox> entry : b.clipCards.entrySet()) {
             VBox card = entry.getValue();
             // Find and hide playing bar (index 3) and stop btn
             if (card.getChildren().size() > 3) {
@@ -514,6 +644,304 @@ public class SoundBoard extends Application {
         }
     }
 
+    // ── Session recording ──────────────────────────────────────
+    // `b` is the bus the clip plays through; TRIGGER/LOOP log its current gain
+    private void record(byte op, BoardBus b, AudioClip clip) {
+        if (recorder == null) return;
+        try {
+            SessionRecorder.Source source = clip == null ? null
+                    : clipSources.getOrDefault(clip, SessionRecorder.Source.plain(clip.getSource()));
+            switch (op) {
+                case SessionRecorder.TRIGGER  -> recorder.trigger(source, b.name, b.gain.get());
+                case SessionRecorder.LOOP     -> recorder.loop(source, b.name, b.gain.get());
+                case SessionRecorder.STOP     -> recorder.stop(source, b.name);
+                case SessionRecorder.STOP_ALL -> recorder.stopAll();
+                default -> { }
+            }
+        } catch (Exception e) { e.printStackTrace(); }
+    }
+
+    private void toggleRecording(Button rec) {
+        if (recorder == null) {
+            try {
+                SESSIONS.mkdirs();
+                String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+                recordingFile = new File(SESSIONS, "session-" + stamp + ".sdy");
+                recorder = new SessionRecorder(recordingFile);
+                rec.setText("●  Recording");
+                rec.setStyle(btnStyle(DANGER, "#3a1a1a", DANGER));
+            } catch (Exception e) { e.printStackTrace(); }
+            return;
+        }
+
+        try { recorder.close(); } catch (Exception e) { e.printStackTrace(); }
+        recorder = null;
+        rec.setText("●  Rec");
+        rec.setStyle(btnStyle(TEXT_DIM, "transparent", BORDER));
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Bounce session to WAV");
+        chooser.setInitialFileName(stripExt(recordingFile.getName()) + ".wav");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("WAV", "*.wav"));
+        File out = chooser.showSaveDialog(root.getScene().getWindow());
+        if (out == null) return;
+
+        // Render off the FX thread; the renderer fans out across cores itself
+        File log = recordingFile;
+        rec.setDisable(true);
+        rec.setText("Bouncing…");
+        Thread t = new Thread(() -> {
+            Exception failure = null;
+            try {
+                SessionRenderer.render(log, out, pcmCache);
+            } catch (Exception e) {
+                e.printStackTrace();
+                failure = e;
+                out.delete();  // don't leave a truncated WAV behind
+            }
+            Exception err = failure;
+            Platform.runLater(() -> {
+                rec.setDisable(false);
+                rec.setText("●  Rec");
+                if (err != null) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Bounce failed");
+                    alert.setHeaderText("Couldn't render " + out.getName());
+                    alert.setContentText(String.valueOf(err.getMessage()));
+                    alert.showAndWait();
+                }
+            });
+        }, "session-render");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // ── PCM cache ──────────────────────────────────────────────
+    // Plays the output-format WAV when it's cached. Until the background conversion
+    // lands (or for formats javax.sound can't decode) the original file is used and
+    // the backend applies gain/pan/pitch itself.
+    private AudioClip loadClip(JSONObject obj, File file) {
+        double gain = obj.optDouble("gain", 1), pan = obj.optDouble("pan", 0), pitch = obj.optDouble("pitch", 1);
+        File prepared = pcmCache.cached(file, gain, pan, pitch);
+        AudioClip clip;
+        if (prepared != null) {
+            clip = new AudioClip(prepared.toURI().toString());
+        } else {
+            clip = new AudioClip(file.toURI().toString());
+            clip.setVolume(Math.min(1, gain));
+            clip.setBalance(pan);
+            clip.setRate(pitch);
+            schedulePrepare(file, gain, pan, pitch);
+        }
+        clipSources.put(clip, new SessionRecorder.Source(file.toURI().toString(), gain, pan, pitch));
+        return clip;
+    }
+
+    private void schedulePrepare(File file, double gain, double pan, double pitch) {
+        String key = file.getAbsolutePath() + "|" + gain + "|" + pan + "|" + pitch;
+        if (!conversions.add(key)) return;
+        pendingConversions++;
+        converter.submit(() -> {
+            File prepared = null;
+            try {
+                prepared = pcmCache.prepare(file, gain, pan, pitch);
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                // Always report back, even on an Error, or the queue never drains
+                File done = prepared;
+                Platform.runLater(() -> conversionDone(key, done));
+            }
+        });
+    }
+
+    private void conversionDone(String key, File prepared) {
+        if (prepared != null) {
+            conversions.remove(key);
+            conversionsLanded = true;
+        }
+        // Swap the converted clips in once the queue drains — but never
+        // under a running loop, that would orphan it from its tile
+        if (--pendingConversions == 0 && conversionsLanded && !bus.hasLoops()) {
+            conversionsLanded = false;
+            // Idle background boards rebuild lazily on their next switch
+            for (BoardBus b : buses.values())
+                if (b != bus && !b.hasLoops()) b.tiles.clear();
+            loadPlayFlow();
+        }
+    }
+
+    // Drops cache entries no board references any more, then queues the missing ones
+    private void prewarmCache() {
+        List<File> keep = new ArrayList<>();
+        for (List<JSONObject> list : boards.values()) {
+            for (JSONObject obj : list) {
+                File file = new File(obj.getString("path"));
+                if (file.exists())
+                    keep.add(pcmCache.diskFile(file, obj.optDouble("gain", 1), obj.optDouble("pan", 0), obj.optDouble("pitch", 1)));
+            }
+        }
+        pcmCache.prune(keep);
+
+        for (List<JSONObject> list : boards.values()) {
+            for (JSONObject obj : list) {
+                File file = new File(obj.getString("path"));
+                double gain = obj.optDouble("gain", 1), pan = obj.optDouble("pan", 0), pitch = obj.optDouble("pitch", 1);
+                if (file.exists() && pcmCache.cached(file, gain, pan, pitch) == null)
+                    schedulePrepare(file, gain, pan, pitch);
+            }
+        }
+    }
+
+    // Deletes the cached WAV for these settings unless another sound still uses it
+    private void releaseCached(String path, double gain, double pan, double pitch) {
+        for (List<JSONObject> list : boards.values()) {
+            for (JSONObject o : list) {
+                if (o.getString("path").equals(path) && o.optDouble("gain", 1) == gain
+                        && o.optDouble("pan", 0) == pan && o.optDouble("pitch", 1) == pitch) return;
+            }
+        }
+        pcmCache.evict(new File(path), gain, pan, pitch);
+    }
+
+    private void releaseCached(JSONObject obj) {
+        releaseCached(obj.getString("path"), obj.optDouble("gain", 1), obj.optDouble("pan", 0), obj.optDouble("pitch", 1));
+    }
+
+    private void editSound(JSONObject obj) {
+        // Gain tops out at unity: an unconverted clip can't play louder than
+        // that, and the cached WAV must sound the same once it swaps in
+        Slider gain  = new Slider(0, 1, Math.min(1, obj.optDouble("gain", 1)));
+        Slider pan   = new Slider(-1, 1, obj.optDouble("pan", 0));
+        Slider pitch = new Slider(0.5, 2, obj.optDouble("pitch", 1));
+        TextField tags = new TextField(String.join(", ", tagsOf(obj)));
+        tags.setPromptText("comma, separated, tags");
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10); grid.setVgap(10);
+        grid.setPadding(new Insets(16));
+        grid.addRow(0, styled(new Label("Gain"),  TEXT, 13, false), gain);
+        grid.addRow(1, styled(new Label("Pan"),   TEXT, 13, false), pan);
+        grid.addRow(2, styled(new Label("Pitch"), TEXT, 13, false), pitch);
+        grid.addRow(3, styled(new Label("Tags"),  TEXT, 13, false), tags);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle(obj.getString("name"));
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.getDialogPane().setStyle("-fx-background-color:" + BG + ";");
+        dialog.showAndWait().filter(b -> b == ButtonType.OK).ifPresent(b -> {
+            double oldGain = obj.optDouble("gain", 1), oldPan = obj.optDouble("pan", 0), oldPitch = obj.optDouble("pitch", 1);
+            // Rounded so nudging a slider doesn't mint a new cache entry per pixel
+            obj.put("gain",  Math.round(gain.getValue()  * 100) / 100.0);
+            obj.put("pan",   Math.round(pan.getValue()   * 100) / 100.0);
+            obj.put("pitch", Math.round(pitch.getValue() * 100) / 100.0);
+            JSONArray tagList = new JSONArray();
+            for (String t : tags.getText().split(",")) if (!t.isBlank()) tagList.put(t.trim());
+            obj.put("tags", tagList);
+            releaseCached(obj.getString("path"), oldGain, oldPan, oldPitch);
+            indexSound(currentBoard, obj);
+            saveBoards();
+            loadPlayFlow();
+            refreshSearch();
+        });
+    }
+
+    // ── Sounds view (search) ───────────────────────────────────
+    private StackPane buildSoundsView() {
+        Label header = styled(new Label("Sounds"), TEXT, 20, true);
+        Label tip = styled(new Label("Searches names, file names, tags and boards across every board. ↑/↓ to pick, Enter to play."), TEXT_DIM, 11, false);
+
+        searchField = new TextField();
+        searchField.setPromptText("Search sounds…  (Ctrl+F)");
+        searchField.setStyle(
+                "-fx-background-color:" + BG_CARD + ";" +
+                        "-fx-text-fill:" + TEXT + ";" +
+                        "-fx-prompt-text-fill:#444;" +
+                        "-fx-font-family:'Segoe UI';" +
+                        "-fx-font-size:14px;" +
+                        "-fx-border-color:" + BORDER + ";" +
+                        "-fx-border-radius:6;" +
+                        "-fx-background-radius:6;" +
+                        "-fx-padding:8 12;"
+        );
+
+        searchResults = new ListView<>();
+        searchResults.setStyle("-fx-background-color:" + BG + ";-fx-control-inner-background:" + BG_CARD + ";-fx-border-color:" + BORDER + ";");
+        searchResults.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(SearchIndex.Hit<JSONObject> hit, boolean empty) {
+                super.updateItem(hit, empty);
+                setText(empty || hit == null ? null : hit.name() + "   ·   " + hit.board());
+                setStyle("-fx-text-fill:" + TEXT + ";-fx-font-size:13px;-fx-font-family:'Segoe UI';");
+            }
+        });
+
+        searchField.textProperty().addListener((obs, was, query) -> refreshSearch());
+        // Arrows move through results without leaving the field; Enter plays
+        searchField.setOnKeyPressed(e -> {
+            switch (e.getCode()) {
+                case DOWN  -> { searchResults.getSelectionModel().selectNext();     e.consume(); }
+                case UP    -> { searchResults.getSelectionModel().selectPrevious(); e.consume(); }
+                case ENTER -> { playSearchResult(); e.consume(); }
+                default    -> { }
+            }
+        });
+        searchResults.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) playSearchResult();
+        });
+        searchResults.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) playSearchResult();
+        });
+
+        VBox content = new VBox(12, header, tip, searchField, searchResults);
+        VBox.setVgrow(searchResults, Priority.ALWAYS);
+        content.setPadding(new Insets(20));
+        content.setStyle("-fx-background-color:" + BG + ";");
+
+        StackPane view = new StackPane(content);
+        view.setStyle("-fx-background-color:" + BG + ";");
+        return view;
+    }
+
+    private void indexSound(String board, JSONObject obj) {
+        searchIndex.add(obj, board, obj.getString("name"), obj.getString("path"), tagsOf(obj));
+    }
+
+    private List<String> tagsOf(JSONObject obj) {
+        List<String> tags = new ArrayList<>();
+        JSONArray arr = obj.optJSONArray("tags");
+        if (arr != null) for (int i = 0; i < arr.length(); i++) tags.add(arr.optString(i));
+        return tags;
+    }
+
+    private void refreshSearch() {
+        if (searchField == null) return;
+        searchResults.getItems().setAll(searchIndex.search(searchField.getText(), 200));
+        if (!searchResults.getItems().isEmpty()) searchResults.getSelectionModel().select(0);
+    }
+
+    // Plays the selected hit on its own board's bus, even if that board isn't showing
+    private void playSearchResult() {
+        SearchIndex.Hit<JSONObject> hit = searchResults.getSelectionModel().getSelectedItem();
+        if (hit == null) return;
+        File file = new File(hit.item().getString("path"));
+        if (!file.exists()) return;
+
+        BoardBus b = bus(hit.board());
+        AudioClip clip = b.clipsBySound.get(hit.item());
+        if (clip == null) {
+            clip = loadClip(hit.item(), file);
+            b.clipsBySound.put(hit.item(), clip);
+        }
+        if (b == bus) {
+            triggerClip(clip);
+        } else {
+            b.playOnce(clip);
+            record(SessionRecorder.TRIGGER, b, clip);
+        }
+    }
+
     // ── Missing file tile ──────────────────────────────────────
     private VBox missingTile(String name, int index, List<JSONObject> list) {
         String accentColor = "#444";
@@ -523,9 +951,10 @@ public class SoundBoard extends Application {
         missing.setStyle("-fx-text-fill:" + DANGER + ";-fx-font-size:11px;-fx-font-family:'Segoe UI';");
         Button del = tileBtn("✕", DANGER);
         del.setOnAction(e -> {
-            list.remove(index);
+            searchIndex.remove(list.remove(index));
             saveBoards();
             loadPlayFlow();
+            refreshSearch();
         });
         VBox card = new VBox(8, nameLbl, missing, del);
         card.setPrefSize(190, 100);
@@ -594,8 +1023,10 @@ public class SoundBoard extends Application {
             obj.put("name", label);
             obj.put("path", file.getAbsolutePath());
             boards.get(currentBoard).add(obj);
+            indexSound(currentBoard, obj);
             saveBoards();
             loadPlayFlow();
+            refreshSearch();
         });
     }
 
@@ -684,7 +1115,11 @@ public class SoundBoard extends Application {
             del.setOnMouseExited(e ->  del.setStyle("-fx-background-color:transparent;-fx-text-fill:#444;-fx-font-size:11px;-fx-cursor:hand;-fx-padding:0 0 0 6;"));
             del.setOnAction(e -> {
                 if (boardName.equals("Default Board")) return;
-                boards.remove(boardName);
+                for (JSONObject obj : boards.get(boardName)) searchIndex.remove(obj);
+                refreshSearch();
+                for (JSONObject obj : boards.remove(boardName)) releaseCached(obj);
+                BoardBus gone = buses.remove(boardName);
+                if (gone != null) unloadBus(gone);
                 boardSelect.getItems().remove(boardName);
                 if (currentBoard.equals(boardName)) {
                     currentBoard = boards.keySet().iterator().next();
@@ -695,9 +1130,16 @@ public class SoundBoard extends Application {
                 refreshBoardBubbles(container);
             });
 
+            // Bus gain — applies while the board plays in the background too. Capped
+            // at 1: AudioClip and MediaPlayer volumes can't go above unity.
+            Slider gain = new Slider(0, 1, 1);
+            gain.setPrefWidth(80);
+            gain.valueProperty().bindBidirectional(bus(boardName).gain);
+            gain.setOnMouseClicked(e -> e.consume());
+
             VBox info = new VBox(2, lbl, count);
 
-            HBox bubble = new HBox(10, info, del);
+            HBox bubble = new HBox(10, info, gain, del);
             bubble.setAlignment(Pos.CENTER_LEFT);
             bubble.setPadding(new Insets(10, 14, 10, 14));
             bubble.setStyle(bubbleStyle(active, false));
@@ -725,5 +1167,13 @@ public class SoundBoard extends Application {
                 "-fx-cursor:hand;";
     }
 
+    @Override
+    public void stop() {
+        // Seal an in-progress session log so open loops get an end time
+        if (recorder != null) {
+            try { recorder.close(); } catch (Exception e) { e.printStackTrace(); }
+        }
+    }
+
     public static void main(String[] args) { launch(); }
 }
\ No newline at end of file